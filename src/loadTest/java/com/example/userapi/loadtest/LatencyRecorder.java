@@ -0,0 +1,81 @@
+package com.example.userapi.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collects raw latency samples for one operation and summarises them as percentiles.
+ */
+public class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+    private long bytes;
+    private final Map<String, Long> versions = new TreeMap<>();
+
+    /**
+     * @param version negotiated HTTP version of the response, or null when no response arrived
+     */
+    public synchronized void record(long latencyNanos, boolean error, long responseBodyBytes, String version) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = latencyNanos;
+        if (error) {
+            errors++;
+        }
+        bytes += responseBodyBytes;
+        if (version != null) {
+            versions.merge(version, 1L, Long::sum);
+        }
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized long getErrors() {
+        return errors;
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized Map<String, Long> getVersions() {
+        return new TreeMap<>(versions);
+    }
+
+    public synchronized long[] snapshot() {
+        return Arrays.copyOf(samples, count);
+    }
+
+    public static Map<String, Object> summarise(long[] latencies, long errors, long bytes, double elapsedSeconds) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", sorted.length);
+        summary.put("errors", errors);
+        summary.put("errorRate", sorted.length == 0 ? 0.0 : (double) errors / sorted.length);
+        summary.put("throughputPerSecond", sorted.length / elapsedSeconds);
+        summary.put("responseBodyBytes", bytes);
+        summary.put("avgResponseBodyBytes", sorted.length == 0 ? 0.0 : (double) bytes / sorted.length);
+        summary.put("p50Millis", percentileMillis(sorted, 0.50));
+        summary.put("p99Millis", percentileMillis(sorted, 0.99));
+        summary.put("p999Millis", percentileMillis(sorted, 0.999));
+        summary.put("maxMillis", sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1_000_000.0);
+        return summary;
+    }
+
+    static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+}
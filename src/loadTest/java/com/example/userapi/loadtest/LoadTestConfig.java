@@ -0,0 +1,153 @@
+package com.example.userapi.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings for a load-test run, read from {@code loadtest.*} system properties.
+ * The Gradle {@code loadTest} task forwards {@code -Ploadtest.*} project properties.
+ */
+public class LoadTestConfig {
+
+    public static final String CREATE = "create";
+    public static final String GET_BY_ID = "getById";
+    public static final String LIST = "list";
+    public static final String CHECK_USERNAME = "checkUsername";
+    public static final String CHECK_EMAIL = "checkEmail";
+
+    private final String profile;
+    private final String datasourceUrl;
+    private final int threads;
+    private final boolean http2;
+    private final boolean compression;
+    private final int seedUsers;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final double collisionRate;
+    private final Map<String, Integer> mix;
+    private final String output;
+    private final double maxP99Millis;
+    private final double maxErrorRate;
+    private final double minThroughput;
+    private final String baseline;
+    private final double maxRegressionPercent;
+    private final int requestTimeoutSeconds;
+
+    private LoadTestConfig(String profile, String datasourceUrl, int threads, boolean http2, boolean compression,
+                           int seedUsers, int warmupSeconds, int durationSeconds, double collisionRate,
+                           Map<String, Integer> mix, String output, double maxP99Millis,
+                           double maxErrorRate, double minThroughput, String baseline,
+                           double maxRegressionPercent, int requestTimeoutSeconds) {
+        this.profile = profile;
+        this.datasourceUrl = datasourceUrl;
+        this.threads = threads;
+        this.http2 = http2;
+        this.compression = compression;
+        this.seedUsers = seedUsers;
+        this.warmupSeconds = warmupSeconds;
+        this.durationSeconds = durationSeconds;
+        this.collisionRate = collisionRate;
+        this.mix = mix;
+        this.output = output;
+        this.maxP99Millis = maxP99Millis;
+        this.maxErrorRate = maxErrorRate;
+        this.minThroughput = minThroughput;
+        this.baseline = baseline;
+        this.maxRegressionPercent = maxRegressionPercent;
+        this.requestTimeoutSeconds = requestTimeoutSeconds;
+    }
+
+    public static LoadTestConfig fromSystemProperties() {
+        int threads = Integer.getInteger("loadtest.threads", 8);
+        int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 5);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 30);
+        double collisionRate = doubleProperty("loadtest.collisionRate", 0.1);
+
+        if (threads < 1 || durationSeconds < 1 || warmupSeconds < 0) {
+            throw new IllegalArgumentException("loadtest.threads and loadtest.durationSeconds must be positive");
+        }
+        if (collisionRate < 0 || collisionRate > 1) {
+            throw new IllegalArgumentException("loadtest.collisionRate must be between 0 and 1");
+        }
+
+        // Never default to a profile's own datasource: the prod profile points at real data
+        String profile = System.getProperty("loadtest.profile", "");
+        String datasourceUrl = System.getProperty("loadtest.datasourceUrl",
+            profile.isBlank() ? "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1"
+                : "jdbc:h2:file:./build/loadtest/userdb;QUERY_CACHE_SIZE=64");
+        checkNotProductionDatabase(datasourceUrl);
+
+        return new LoadTestConfig(
+            profile,
+            datasourceUrl,
+            threads,
+            Boolean.parseBoolean(System.getProperty("loadtest.http2", "false")),
+            Boolean.parseBoolean(System.getProperty("loadtest.compression", "true")),
+            Integer.getInteger("loadtest.seedUsers", 0),
+            warmupSeconds,
+            durationSeconds,
+            collisionRate,
+            parseMix(System.getProperty("loadtest.mix",
+                "create=20,getById=35,list=5,checkUsername=25,checkEmail=15")),
+            System.getProperty("loadtest.output", "build/reports/loadtest/results.json"),
+            doubleProperty("loadtest.maxP99Millis", 0),
+            doubleProperty("loadtest.maxErrorRate", 0.01),
+            doubleProperty("loadtest.minThroughput", 0),
+            System.getProperty("loadtest.baseline", ""),
+            doubleProperty("loadtest.maxRegressionPercent", 10),
+            Integer.getInteger("loadtest.requestTimeoutSeconds", 10));
+    }
+
+    static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            String operation = parts[0].trim();
+            if (!operation.equals(CREATE) && !operation.equals(GET_BY_ID) && !operation.equals(LIST)
+                    && !operation.equals(CHECK_USERNAME) && !operation.equals(CHECK_EMAIL)) {
+                throw new IllegalArgumentException("Unknown loadtest.mix operation: " + operation);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(operation, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix must contain at least one positive weight");
+        }
+        return mix;
+    }
+
+    static void checkNotProductionDatabase(String datasourceUrl) {
+        if (datasourceUrl.isBlank() || datasourceUrl.replace('\\', '/').contains("data/userdb")) {
+            throw new IllegalArgumentException(
+                "Refusing to load test against the production database: " + datasourceUrl);
+        }
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : Double.parseDouble(value.trim());
+    }
+
+    public String getProfile() { return profile; }
+    public String getDatasourceUrl() { return datasourceUrl; }
+    public int getThreads() { return threads; }
+    public boolean isHttp2() { return http2; }
+    public boolean isCompression() { return compression; }
+    public int getSeedUsers() { return seedUsers; }
+    public int getWarmupSeconds() { return warmupSeconds; }
+    public int getDurationSeconds() { return durationSeconds; }
+    public double getCollisionRate() { return collisionRate; }
+    public Map<String, Integer> getMix() { return mix; }
+    public String getOutput() { return output; }
+    public double getMaxP99Millis() { return maxP99Millis; }
+    public double getMaxErrorRate() { return maxErrorRate; }
+    public double getMinThroughput() { return minThroughput; }
+    public String getBaseline() { return baseline; }
+    public double getMaxRegressionPercent() { return maxRegressionPercent; }
+    public int getRequestTimeoutSeconds() { return requestTimeoutSeconds; }
+}
@@ -0,0 +1,360 @@
+package com.example.userapi.loadtest;
+
+import com.example.userapi.UserApiApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Boots the application against an H2 database and replays a weighted mix of
+ * registrations, lookups, listings and availability checks over HTTP.
+ * Writes a JSON report and exits non-zero when a configured threshold is missed.
+ */
+public class LoadTestRunner {
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private final List<Long> knownIds = new ArrayList<>();
+    private final List<String> knownUsernames = new ArrayList<>();
+    private final List<String> knownEmails = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final String runPrefix = "u" + Long.toString(System.currentTimeMillis() % 1_000_000L, 36) + "_";
+    private final String baseUrl;
+    private final ServerCpuSampler cpuSampler = new ServerCpuSampler();
+
+    private volatile boolean measuring;
+
+    public LoadTestRunner(LoadTestConfig config, int port) {
+        this.config = config;
+        this.baseUrl = "http://localhost:" + port + "/api/users";
+        this.client = HttpClient.newBuilder()
+            .version(config.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        config.getMix().keySet().forEach(operation -> recorders.put(operation, new LatencyRecorder()));
+
+        // Rows inserted by db/demo/R__demo_users.sql
+        knownIds.add(1L);
+        knownIds.add(2L);
+        knownUsernames.add("admin");
+        knownUsernames.add("testuser");
+        knownEmails.add("admin@example.com");
+        knownEmails.add("test@example.com");
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        SpringApplication application = new SpringApplication(UserApiApplication.class);
+        long bootStart = System.nanoTime();
+        List<String> arguments = new ArrayList<>(List.of(
+            "--server.port=0",
+            // The prod profile leaves out the demo users the mix relies on
+            "--spring.flyway.locations=classpath:db/migration,classpath:db/demo",
+            "--spring.h2.console.enabled=false",
+            "--logging.level.com.example.userapi=WARN",
+            "--logging.level.org.springframework.web=WARN"));
+        if (!config.getProfile().isBlank()) {
+            arguments.add("--spring.profiles.active=" + config.getProfile());
+        }
+        arguments.add("--spring.datasource.url=" + config.getDatasourceUrl());
+        ConfigurableApplicationContext context = application.run(arguments.toArray(new String[0]));
+        double startupMillis = (System.nanoTime() - bootStart) / 1_000_000.0;
+
+        boolean passed;
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            LoadTestRunner runner = new LoadTestRunner(config, port);
+            passed = runner.run(startupMillis);
+        } finally {
+            context.close();
+        }
+
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    public boolean run(double startupMillis) throws Exception {
+        // Grow the table first so list responses are measured at a known size
+        for (int i = 0; i < config.getSeedUsers(); i++) {
+            createUser(false);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.getThreads());
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+        long runEnd = warmupEnd + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+
+        for (int i = 0; i < config.getThreads(); i++) {
+            executor.submit(() -> {
+                while (System.nanoTime() < runEnd) {
+                    execute(pickOperation());
+                }
+            });
+        }
+
+        long now = System.nanoTime();
+        if (warmupEnd > now) {
+            TimeUnit.NANOSECONDS.sleep(warmupEnd - now);
+        }
+        measuring = true;
+        long measureStart = System.nanoTime();
+        Map<Long, Long> cpuStart = cpuSampler.snapshot();
+
+        executor.shutdown();
+        executor.awaitTermination(config.getDurationSeconds() + 60L, TimeUnit.SECONDS);
+        double elapsedSeconds = (System.nanoTime() - measureStart) / 1_000_000_000.0;
+        double cpuSeconds = ServerCpuSampler.elapsedNanos(cpuStart, cpuSampler.snapshot()) / 1_000_000_000.0;
+
+        return report(elapsedSeconds, startupMillis, cpuSeconds);
+    }
+
+    private String pickOperation() {
+        int total = config.getMix().values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<String, Integer> entry : config.getMix().entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Operation mix is empty");
+    }
+
+    private void execute(String operation) {
+        long start = System.nanoTime();
+        Outcome outcome;
+        try {
+            outcome = switch (operation) {
+                case LoadTestConfig.CREATE -> createUser(true);
+                case LoadTestConfig.GET_BY_ID -> get("/" + randomOf(knownIds), 200);
+                case LoadTestConfig.LIST -> get("", 200);
+                case LoadTestConfig.CHECK_USERNAME -> get("/check-username/" + candidateUsername(), 200);
+                case LoadTestConfig.CHECK_EMAIL -> get("/check-email?email="
+                    + URLEncoder.encode(candidateEmail(), StandardCharsets.UTF_8), 200);
+                default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+            };
+        } catch (IOException | RuntimeException e) {
+            // A failed call must not end the worker thread, or load silently drops
+            outcome = new Outcome(true, 0, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (measuring) {
+            recorders.get(operation).record(System.nanoTime() - start, outcome.error(), outcome.bytes(),
+                outcome.version());
+        }
+    }
+
+    /**
+     * Registers a user. With probability {@code collisionRate} the username is one that
+     * already exists, in which case the API's 400 response is the expected outcome.
+     */
+    private Outcome createUser(boolean allowCollision) throws IOException, InterruptedException {
+        boolean collide = allowCollision && ThreadLocalRandom.current().nextDouble() < config.getCollisionRate();
+        String id = runPrefix + Long.toString(sequence.incrementAndGet(), 36);
+        String username = collide ? randomOf(knownUsernames) : id;
+        String email = id + "@loadtest.example.com";
+
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("username", username);
+        body.put("email", email);
+        body.put("firstName", "Load");
+        body.put("lastName", "Test");
+
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(URI.create(baseUrl))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body))));
+        long bytes = response.body().length;
+        String version = response.version().name();
+
+        if (collide) {
+            return new Outcome(response.statusCode() != 400, bytes, version);
+        }
+        if (response.statusCode() != 201) {
+            return new Outcome(true, bytes, version);
+        }
+
+        JsonNode created = objectMapper.readTree(decode(response));
+        synchronized (this) {
+            knownIds.add(created.get("id").asLong());
+            knownUsernames.add(username);
+            knownEmails.add(email);
+        }
+        return new Outcome(false, bytes, version);
+    }
+
+    private Outcome get(String path, int expectedStatus) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+        return new Outcome(response.statusCode() != expectedStatus, response.body().length,
+            response.version().name());
+    }
+
+    /**
+     * Sends the request and returns the body as received, so its length is the body
+     * size on the wire (compressed when the server chose gzip). Header bytes are
+     * not visible through HttpClient and are not counted.
+     */
+    private HttpResponse<byte[]> send(HttpRequest.Builder builder) throws IOException, InterruptedException {
+        builder.timeout(Duration.ofSeconds(config.getRequestTimeoutSeconds()));
+        if (config.isCompression()) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private InputStream decode(HttpResponse<byte[]> response) throws IOException {
+        InputStream body = new ByteArrayInputStream(response.body());
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+            .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+            .orElse(false);
+        return gzip ? new GZIPInputStream(body) : body;
+    }
+
+    private String candidateUsername() {
+        if (ThreadLocalRandom.current().nextDouble() < config.getCollisionRate()) {
+            return randomOf(knownUsernames);
+        }
+        return runPrefix + "free" + ThreadLocalRandom.current().nextInt(100_000);
+    }
+
+    private String candidateEmail() {
+        if (ThreadLocalRandom.current().nextDouble() < config.getCollisionRate()) {
+            return randomOf(knownEmails);
+        }
+        return runPrefix + "free" + ThreadLocalRandom.current().nextInt(100_000) + "@loadtest.example.com";
+    }
+
+    private synchronized <T> T randomOf(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private boolean report(double elapsedSeconds, double startupMillis, double cpuSeconds) throws IOException {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        List<long[]> allSamples = new ArrayList<>();
+        long totalErrors = 0;
+        long totalBytes = 0;
+        int totalCount = 0;
+        Map<String, Long> totalVersions = new TreeMap<>();
+
+        for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+            long[] samples = entry.getValue().snapshot();
+            long errors = entry.getValue().getErrors();
+            long bytes = entry.getValue().getBytes();
+            Map<String, Long> versions = entry.getValue().getVersions();
+            Map<String, Object> summary = LatencyRecorder.summarise(samples, errors, bytes, elapsedSeconds);
+            summary.put("httpVersions", versions);
+            operations.put(entry.getKey(), summary);
+            versions.forEach((version, count) -> totalVersions.merge(version, count, Long::sum));
+            allSamples.add(samples);
+            totalErrors += errors;
+            totalBytes += bytes;
+            totalCount += samples.length;
+        }
+
+        long[] combined = new long[totalCount];
+        int offset = 0;
+        for (long[] samples : allSamples) {
+            System.arraycopy(samples, 0, combined, offset, samples.length);
+            offset += samples.length;
+        }
+        Map<String, Object> overall = LatencyRecorder.summarise(combined, totalErrors, totalBytes, elapsedSeconds);
+        overall.put("httpVersions", totalVersions);
+        if (cpuSampler.isSupported()) {
+            overall.put("serverCpuSeconds", cpuSeconds);
+            overall.put("serverCpuMicrosPerRequest", totalCount == 0 ? 0.0 : cpuSeconds * 1_000_000 / totalCount);
+        }
+
+        double p99 = (double) overall.get("p99Millis");
+        double errorRate = (double) overall.get("errorRate");
+        double throughput = (double) overall.get("throughputPerSecond");
+        List<String> violations = new ArrayList<>(ThresholdCheck.absoluteViolations(p99, errorRate, throughput,
+            config.getMaxP99Millis(), config.getMaxErrorRate(), config.getMinThroughput()));
+
+        if (!config.getBaseline().isBlank()) {
+            JsonNode baseline = objectMapper.readTree(new File(config.getBaseline())).path("overall");
+            violations.addAll(ThresholdCheck.regressionViolations(p99, throughput,
+                baseline.path("p99Millis").asDouble(), baseline.path("throughputPerSecond").asDouble(),
+                config.getMaxRegressionPercent()));
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("profile", config.getProfile());
+        settings.put("datasourceUrl", config.getDatasourceUrl());
+        settings.put("threads", config.getThreads());
+        settings.put("http2", config.isHttp2());
+        settings.put("compression", config.isCompression());
+        settings.put("seedUsers", config.getSeedUsers());
+        settings.put("warmupSeconds", config.getWarmupSeconds());
+        settings.put("durationSeconds", config.getDurationSeconds());
+        settings.put("collisionRate", config.getCollisionRate());
+        settings.put("mix", config.getMix());
+
+        Map<String, Object> thresholds = new LinkedHashMap<>();
+        thresholds.put("maxP99Millis", config.getMaxP99Millis());
+        thresholds.put("maxErrorRate", config.getMaxErrorRate());
+        thresholds.put("minThroughput", config.getMinThroughput());
+        thresholds.put("baseline", config.getBaseline());
+        thresholds.put("maxRegressionPercent", config.getMaxRegressionPercent());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("config", settings);
+        result.put("startupMillis", startupMillis);
+        result.put("elapsedSeconds", elapsedSeconds);
+        result.put("overall", overall);
+        result.put("operations", operations);
+        result.put("thresholds", thresholds);
+        result.put("violations", violations);
+        result.put("passed", violations.isEmpty());
+
+        File output = new File(config.getOutput());
+        if (output.getParentFile() != null) {
+            output.getParentFile().mkdirs();
+        }
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, result);
+
+        System.out.printf("Load test: %d requests, %.1f req/s, p50 %.2f ms, p99 %.2f ms, p999 %.2f ms, error rate %.4f%n",
+            totalCount, throughput, (double) overall.get("p50Millis"), p99,
+            (double) overall.get("p999Millis"), errorRate);
+        System.out.println("Report written to " + output.getAbsolutePath());
+        if (config.isHttp2() && totalVersions.keySet().stream().anyMatch(version -> !version.equals("HTTP_2"))) {
+            System.out.println("WARNING: HTTP/2 was requested but some responses used " + totalVersions.keySet());
+        }
+        violations.forEach(violation -> System.out.println("THRESHOLD FAILED: " + violation));
+
+        return violations.isEmpty();
+    }
+
+    private record Outcome(boolean error, long bytes, String version) {
+    }
+}
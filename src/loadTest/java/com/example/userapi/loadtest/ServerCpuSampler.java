@@ -0,0 +1,65 @@
+package com.example.userapi.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples the CPU time of the application's own threads. The load generator runs in
+ * the same JVM, so process CPU time would also count its HttpClient, JSON parsing
+ * and gzip decoding. Only Tomcat request threads, the task executor that writes
+ * streamed listings and the scheduler that runs the outbox relay are summed here.
+ */
+public class ServerCpuSampler {
+
+    static final List<String> SERVER_THREAD_PREFIXES = List.of("http-nio-", "task-", "scheduling-");
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    public ServerCpuSampler() {
+        if (isSupported() && !threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+    }
+
+    public boolean isSupported() {
+        return threads.isThreadCpuTimeSupported();
+    }
+
+    /**
+     * CPU nanoseconds consumed so far by each live server thread, keyed by thread id.
+     */
+    public Map<Long, Long> snapshot() {
+        Map<Long, Long> cpu = new HashMap<>();
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info == null || !isServerThread(info.getThreadName())) {
+                continue;
+            }
+            long nanos = threads.getThreadCpuTime(info.getThreadId());
+            if (nanos >= 0) {
+                cpu.put(info.getThreadId(), nanos);
+            }
+        }
+        return cpu;
+    }
+
+    /**
+     * CPU time used between two snapshots. A thread started in between counts from
+     * zero. A thread that exited in between is missing from {@code end}, so its
+     * share is lost; Tomcat and the task executor keep their core threads alive.
+     */
+    static long elapsedNanos(Map<Long, Long> start, Map<Long, Long> end) {
+        long total = 0;
+        for (Map.Entry<Long, Long> entry : end.entrySet()) {
+            total += Math.max(0, entry.getValue() - start.getOrDefault(entry.getKey(), 0L));
+        }
+        return total;
+    }
+
+    static boolean isServerThread(String name) {
+        return name != null && SERVER_THREAD_PREFIXES.stream().anyMatch(name::startsWith);
+    }
+}
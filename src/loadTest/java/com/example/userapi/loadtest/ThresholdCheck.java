@@ -0,0 +1,48 @@
+package com.example.userapi.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pass/fail rules for a load-test run: absolute limits, and the allowed regression
+ * against a baseline report from an earlier run.
+ */
+public final class ThresholdCheck {
+
+    private ThresholdCheck() {}
+
+    public static List<String> absoluteViolations(double p99Millis, double errorRate, double throughput,
+                                                  double maxP99Millis, double maxErrorRate, double minThroughput) {
+        List<String> violations = new ArrayList<>();
+        if (maxP99Millis > 0 && p99Millis > maxP99Millis) {
+            violations.add(String.format("p99 %.2f ms exceeds %.2f ms", p99Millis, maxP99Millis));
+        }
+        if (errorRate > maxErrorRate) {
+            violations.add(String.format("error rate %.4f exceeds %.4f", errorRate, maxErrorRate));
+        }
+        if (minThroughput > 0 && throughput < minThroughput) {
+            violations.add(String.format("throughput %.1f/s below %.1f/s", throughput, minThroughput));
+        }
+        return violations;
+    }
+
+    /**
+     * Fails when p99 grew, or throughput fell, by more than {@code maxRegressionPercent}
+     * relative to the baseline run.
+     */
+    public static List<String> regressionViolations(double p99Millis, double throughput,
+                                                    double baselineP99Millis, double baselineThroughput,
+                                                    double maxRegressionPercent) {
+        List<String> violations = new ArrayList<>();
+        double allowed = maxRegressionPercent / 100.0;
+        if (baselineP99Millis > 0 && p99Millis > baselineP99Millis * (1 + allowed)) {
+            violations.add(String.format("p99 %.2f ms regressed more than %.1f%% from baseline %.2f ms",
+                p99Millis, maxRegressionPercent, baselineP99Millis));
+        }
+        if (baselineThroughput > 0 && throughput < baselineThroughput * (1 - allowed)) {
+            violations.add(String.format("throughput %.1f/s regressed more than %.1f%% from baseline %.1f/s",
+                throughput, maxRegressionPercent, baselineThroughput));
+        }
+        return violations;
+    }
+}
@@ -5,10 +5,16 @@ import com.example.userapi.service.UserService;
 import com.example.userapi.exception.DuplicateUserException;
 import com.example.userapi.exception.InvalidUserDataException;
 import com.example.userapi.exception.UserNotFoundException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import jakarta.validation.Valid;
@@ -23,12 +29,16 @@ import java.util.Map;
 public class UserController {
     
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+
+    private static final int LIST_PAGE_SIZE = 100;
     
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ObjectMapper objectMapper) {
         this.userService = userService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -54,26 +64,46 @@ public class UserController {
         }
     }
 
+    /**
+     * Writes users to the response a page at a time, so no response-sized list is
+     * built and gzip compresses each buffered chunk. Each page is read in its own
+     * short transaction and written before the next is fetched, so a slow client
+     * never holds a database connection.
+     */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.findAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<StreamingResponseBody> getAllUsers() {
+        // Let the container's buffer decide when to flush rather than flushing per user
+        ObjectWriter writer = objectMapper.writerFor(User.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                long lastId = 0;
+                List<User> page;
+                do {
+                    page = userService.findUsersAfter(lastId, LIST_PAGE_SIZE);
+                    for (User user : page) {
+                        writer.writeValue(generator, user);
+                        lastId = user.getId();
+                    }
+                    generator.flush();
+                } while (page.size() == LIST_PAGE_SIZE);
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/check-username/{username}")
     public ResponseEntity<Map<String, Boolean>> checkUsernameAvailability(@PathVariable String username) {
         boolean available = userService.isUsernameAvailable(username);
-        Map<String, Boolean> response = new HashMap<>();
-        response.put("available", available);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(Map.of("available", available));
     }
 
     @GetMapping("/check-email")
     public ResponseEntity<Map<String, Boolean>> checkEmailAvailability(@RequestParam String email) {
         boolean available = userService.isEmailAvailable(email);
-        Map<String, Boolean> response = new HashMap<>();
-        response.put("available", available);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(Map.of("available", available));
     }
 
     private Map<String, String> createErrorResponse(String message) {
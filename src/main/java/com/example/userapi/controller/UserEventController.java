@@ -0,0 +1,44 @@
+package com.example.userapi.controller;
+
+import com.example.userapi.model.UserEvent;
+import com.example.userapi.service.UserEventOutbox;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental feed of user changes. Consumers pass back {@code nextOffset} as
+ * {@code after} to resume where they left off instead of re-reading /api/users.
+ * Offsets are event sequence numbers. Events appear here once the relay has
+ * sequenced them, and are kept for {@code userapi.outbox.retention-hours}.
+ */
+@RestController
+@RequestMapping("/api/users/events")
+@CrossOrigin(origins = "*")
+public class UserEventController {
+
+    private static final int MAX_LIMIT = 500;
+
+    private final UserEventOutbox userEventOutbox;
+
+    @Autowired
+    public UserEventController(UserEventOutbox userEventOutbox) {
+        this.userEventOutbox = userEventOutbox;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getEvents(@RequestParam(defaultValue = "0") long after,
+                                                         @RequestParam(defaultValue = "100") int limit) {
+        List<UserEvent> events = userEventOutbox.findEventsAfter(after, Math.min(limit, MAX_LIMIT));
+        long nextOffset = events.isEmpty() ? after : events.get(events.size() - 1).getSequenceNumber();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("events", events);
+        response.put("nextOffset", nextOffset);
+        return ResponseEntity.ok(response);
+    }
+}
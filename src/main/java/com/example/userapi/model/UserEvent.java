@@ -0,0 +1,87 @@
+package com.example.userapi.model;
+
+import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row written in the same transaction as the change it describes.
+ * The id is assigned at insert time, so it can appear out of commit order.
+ * Consumers therefore use {@code sequenceNumber} as their offset. The relay
+ * assigns it only after the row is committed.
+ */
+@Entity
+@Table(name = "user_events")
+public class UserEvent {
+
+    public static final String USER_CREATED = "USER_CREATED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true)
+    private Long sequenceNumber;
+
+    @Column(nullable = false, length = 50, updatable = false)
+    private String eventType;
+
+    @Column(nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 20, updatable = false)
+    private String username;
+
+    @Column(nullable = false, updatable = false)
+    private String email;
+
+    @Column(nullable = false, updatable = false)
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public UserEvent() {}
+
+    public UserEvent(String eventType, User user) {
+        this.eventType = eventType;
+        this.userId = user.getId();
+        this.username = user.getUsername();
+        this.email = user.getEmail();
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getSequenceNumber() { return sequenceNumber; }
+    public void setSequenceNumber(Long sequenceNumber) { this.sequenceNumber = sequenceNumber; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    @Override
+    public String toString() {
+        return "UserEvent{" +
+                "id=" + id +
+                ", sequenceNumber=" + sequenceNumber +
+                ", eventType='" + eventType + '\'' +
+                ", userId=" + userId +
+                ", username='" + username + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.userapi.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persistent read position of one outbox consumer. The lease columns let only one
+ * application instance deliver to a consumer at a time. The reserved
+ * {@link #SEQUENCER} row holds the last sequence number the relay assigned.
+ */
+@Entity
+@Table(name = "user_event_offsets")
+public class UserEventOffset {
+
+    public static final String SEQUENCER = "__sequencer";
+
+    @Id
+    @Column(length = 100)
+    private String consumer;
+
+    @Column(nullable = false)
+    private long lastSequence;
+
+    @Column(length = 64)
+    private String leaseOwner;
+
+    private LocalDateTime leaseExpiresAt;
+
+    // Constructors
+    public UserEventOffset() {}
+
+    public UserEventOffset(String consumer) {
+        this.consumer = consumer;
+    }
+
+    // Getters and Setters
+    public String getConsumer() { return consumer; }
+    public void setConsumer(String consumer) { this.consumer = consumer; }
+
+    public long getLastSequence() { return lastSequence; }
+    public void setLastSequence(long lastSequence) { this.lastSequence = lastSequence; }
+
+    public String getLeaseOwner() { return leaseOwner; }
+    public void setLeaseOwner(String leaseOwner) { this.leaseOwner = leaseOwner; }
+
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
+
+    @Override
+    public String toString() {
+        return "UserEventOffset{" +
+                "consumer='" + consumer + '\'' +
+                ", lastSequence=" + lastSequence +
+                ", leaseOwner='" + leaseOwner + '\'' +
+                ", leaseExpiresAt=" + leaseExpiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.userapi.repository;
+
+import com.example.userapi.model.UserEventOffset;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface UserEventOffsetRepository extends JpaRepository<UserEventOffset, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM UserEventOffset o WHERE o.consumer = :consumer")
+    Optional<UserEventOffset> findForUpdate(@Param("consumer") String consumer);
+
+    /**
+     * Inserts a zero offset for the consumer unless one exists. Two instances
+     * registering the same consumer at once both succeed instead of one hitting
+     * a duplicate key, and an existing offset is never reset.
+     */
+    @Modifying
+    @Query(value = "MERGE INTO user_event_offsets o USING (VALUES (CAST(:consumer AS VARCHAR(100)))) s(consumer) " +
+                   "ON o.consumer = s.consumer " +
+                   "WHEN NOT MATCHED THEN INSERT (consumer, last_sequence) VALUES (s.consumer, 0)",
+           nativeQuery = true)
+    int createIfAbsent(@Param("consumer") String consumer);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserEventOffset o SET o.leaseOwner = :owner, o.leaseExpiresAt = :expiresAt " +
+           "WHERE o.consumer = :consumer AND (o.leaseOwner IS NULL OR o.leaseOwner = :owner OR o.leaseExpiresAt < :now)")
+    int acquireLease(@Param("consumer") String consumer, @Param("owner") String owner,
+                     @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserEventOffset o SET o.lastSequence = :lastSequence, o.leaseOwner = NULL, o.leaseExpiresAt = NULL " +
+           "WHERE o.consumer = :consumer AND o.leaseOwner = :owner")
+    int releaseLease(@Param("consumer") String consumer, @Param("owner") String owner,
+                     @Param("lastSequence") long lastSequence);
+
+    long countByConsumerIn(Collection<String> consumers);
+
+    @Query("SELECT MIN(o.lastSequence) FROM UserEventOffset o WHERE o.consumer IN :consumers")
+    Long findMinLastSequence(@Param("consumers") Collection<String> consumers);
+}
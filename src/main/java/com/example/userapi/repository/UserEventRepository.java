@@ -0,0 +1,24 @@
+package com.example.userapi.repository;
+
+import com.example.userapi.model.UserEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserEventRepository extends JpaRepository<UserEvent, Long> {
+
+    List<UserEvent> findBySequenceNumberIsNullOrderByIdAsc(Pageable pageable);
+
+    List<UserEvent> findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(Long sequenceNumber, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM UserEvent e WHERE e.sequenceNumber <= :sequenceNumber AND e.createdAt < :cutoff")
+    int deleteDeliveredBefore(@Param("sequenceNumber") long sequenceNumber, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,24 +1,40 @@
 package com.example.userapi.repository;
 
 import com.example.userapi.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     
+    // Not cached: these guard registration, and the query cache is only
+    // invalidated inside one JVM, so another instance could accept a duplicate
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
     
-    Optional<User> findByUsername(String username);
-    
+    // Cached results are invalidated by inserts in this JVM only; other
+    // instances may see a stale empty result until the region's TTL expires
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     
+    // Keyset page for the /api/users listing. Bypasses the second-level cache so
+    // a full listing does not evict hot entries.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
     @Query("SELECT COUNT(u) FROM User u WHERE u.username = :username OR u.email = :email")
     long countByUsernameOrEmail(@Param("username") String username, @Param("email") String email);
 }
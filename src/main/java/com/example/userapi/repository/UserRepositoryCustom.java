@@ -0,0 +1,10 @@
+package com.example.userapi.repository;
+
+import com.example.userapi.model.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    Optional<User> findByUsername(String username);
+}
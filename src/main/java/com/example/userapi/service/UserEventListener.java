@@ -0,0 +1,24 @@
+package com.example.userapi.service;
+
+import com.example.userapi.model.UserEvent;
+
+import java.util.List;
+
+/**
+ * In-process consumer of the user change stream. Spring beans implementing this
+ * interface are registered with {@link UserEventRelay} automatically.
+ */
+public interface UserEventListener {
+
+    /**
+     * Stable, unique name under which this listener's offset is stored. Renaming
+     * a listener makes it start again from the oldest retained event.
+     */
+    String getConsumerName();
+
+    /**
+     * Receives the next batch in sequence order. Throwing leaves the offset where
+     * it was, so the same batch is delivered again on the next run.
+     */
+    void onUserEvents(List<UserEvent> events);
+}
@@ -0,0 +1,115 @@
+package com.example.userapi.service;
+
+import com.example.userapi.model.UserEvent;
+import com.example.userapi.model.UserEventOffset;
+import com.example.userapi.repository.UserEventOffsetRepository;
+import com.example.userapi.repository.UserEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Short transactions over the user_events outbox and the consumer offsets.
+ * {@link UserEventRelay} calls these between listener invocations, so no
+ * transaction stays open while a listener runs.
+ */
+@Service
+@Transactional
+public class UserEventOutbox {
+
+    private final UserEventRepository userEventRepository;
+    private final UserEventOffsetRepository offsetRepository;
+
+    @Autowired
+    public UserEventOutbox(UserEventRepository userEventRepository, UserEventOffsetRepository offsetRepository) {
+        this.userEventRepository = userEventRepository;
+        this.offsetRepository = offsetRepository;
+    }
+
+    /**
+     * Gives committed, unsequenced events the next sequence numbers in id order.
+     * An event whose transaction is still open is not visible here, so it gets a
+     * higher number once it commits. A consumer that has moved past the
+     * current sequence therefore never skips it. The sequencer row, seeded by
+     * the V2 migration, is locked to serialise this across instances.
+     *
+     * @return the number of events sequenced
+     */
+    public int assignSequenceNumbers(int batchSize) {
+        UserEventOffset sequencer = offsetRepository.findForUpdate(UserEventOffset.SEQUENCER)
+            .orElseThrow(() -> new IllegalStateException(
+                "Missing " + UserEventOffset.SEQUENCER + " row in user_event_offsets"));
+
+        List<UserEvent> pending =
+            userEventRepository.findBySequenceNumberIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+        long next = sequencer.getLastSequence();
+        for (UserEvent event : pending) {
+            event.setSequenceNumber(++next);
+        }
+        sequencer.setLastSequence(next);
+        return pending.size();
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserEvent> findEventsAfter(long sequenceNumber, int limit) {
+        return userEventRepository.findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(
+            sequenceNumber, PageRequest.of(0, Math.max(1, limit)));
+    }
+
+    /**
+     * Creates a zero offset for a new consumer. Runs in its own transaction so a
+     * duplicate key from another instance registering concurrently rolls back
+     * only this insert.
+     */
+    public void register(String consumer) {
+        offsetRepository.createIfAbsent(consumer);
+    }
+
+    /**
+     * Leases the consumer's offset for {@code owner}. Returns the stored position,
+     * or empty while another instance holds an unexpired lease or the consumer
+     * has not been {@link #register registered}.
+     */
+    public OptionalLong claim(String consumer, String owner, Duration leaseDuration) {
+        LocalDateTime now = LocalDateTime.now();
+        if (offsetRepository.acquireLease(consumer, owner, now, now.plus(leaseDuration)) == 0) {
+            return OptionalLong.empty();
+        }
+        return offsetRepository.findById(consumer)
+            .map(offset -> OptionalLong.of(offset.getLastSequence()))
+            .orElse(OptionalLong.empty());
+    }
+
+    /**
+     * Stores the consumer's new position and drops the lease. Returns false if the
+     * lease had expired and been taken over, in which case nothing is written.
+     */
+    public boolean release(String consumer, String owner, long lastSequence) {
+        return offsetRepository.releaseLease(consumer, owner, lastSequence) == 1;
+    }
+
+    /**
+     * Deletes events older than {@code cutoff} that every named consumer has already
+     * processed. With no consumers, any sequenced event past the cutoff is removed.
+     */
+    public int purgeDelivered(Collection<String> consumers, LocalDateTime cutoff) {
+        // A consumer without a stored offset has not started reading yet
+        if (!consumers.isEmpty() && offsetRepository.countByConsumerIn(consumers) < consumers.size()) {
+            return 0;
+        }
+        Long delivered = consumers.isEmpty()
+            ? offsetRepository.findById(UserEventOffset.SEQUENCER).map(UserEventOffset::getLastSequence).orElse(0L)
+            : offsetRepository.findMinLastSequence(consumers);
+        if (delivered == null || delivered == 0) {
+            return 0;
+        }
+        return userEventRepository.deleteDeliveredBefore(delivered, cutoff);
+    }
+}
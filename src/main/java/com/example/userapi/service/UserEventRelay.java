@@ -0,0 +1,154 @@
+package com.example.userapi.service;
+
+import com.example.userapi.model.UserEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Sequences committed outbox rows and delivers them in batches to registered
+ * listeners. Each listener's position is stored in user_event_offsets, so
+ * delivery resumes where it stopped after a restart. A lease ensures only one
+ * instance delivers to a listener at a time. Delivery is at-least-once: a
+ * crash between a listener returning and its offset being saved repeats that batch.
+ *
+ * <p>Not transactional itself: batches are read in short transactions through
+ * {@link UserEventOutbox}, and listeners run outside any transaction.
+ */
+@Service
+public class UserEventRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserEventRelay.class);
+
+    private final UserEventOutbox outbox;
+    private final List<UserEventListener> listeners = new CopyOnWriteArrayList<>();
+    private final Set<String> registered = ConcurrentHashMap.newKeySet();
+    private final String instanceId = UUID.randomUUID().toString();
+    private final int batchSize;
+    private final Duration leaseDuration;
+    private final Duration retention;
+
+    @Autowired
+    public UserEventRelay(UserEventOutbox outbox,
+                          ObjectProvider<UserEventListener> listeners,
+                          @Value("${userapi.outbox.batch-size:100}") int batchSize,
+                          @Value("${userapi.outbox.lease-ms:30000}") long leaseMillis,
+                          @Value("${userapi.outbox.retention-hours:168}") long retentionHours) {
+        this.outbox = outbox;
+        listeners.orderedStream().forEach(this.listeners::add);
+        this.batchSize = batchSize;
+        this.leaseDuration = Duration.ofMillis(leaseMillis);
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    public void addListener(UserEventListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(UserEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${userapi.outbox.relay-interval-ms:1000}")
+    public void publishPending() {
+        while (outbox.assignSequenceNumbers(batchSize) == batchSize) {
+            logger.debug("Sequenced a full batch of user events, continuing");
+        }
+
+        for (UserEventListener listener : listeners) {
+            while (deliverBatch(listener)) {
+                logger.debug("Delivered a full batch to {}, continuing", listener.getConsumerName());
+            }
+        }
+    }
+
+    /**
+     * Delivers the next batch to one listener. The offset only advances if the
+     * listener returns normally. A database error affects only this listener's
+     * round; the remaining listeners are still served.
+     *
+     * @return true if a full batch was delivered and more may be waiting
+     */
+    boolean deliverBatch(UserEventListener listener) {
+        String consumer = listener.getConsumerName();
+        OptionalLong claimed;
+        try {
+            register(consumer);
+            claimed = outbox.claim(consumer, instanceId, leaseDuration);
+        } catch (RuntimeException e) {
+            logger.error("Could not claim the user event offset for {}; retrying next round", consumer, e);
+            return false;
+        }
+        if (claimed.isEmpty()) {
+            return false;
+        }
+
+        long position = claimed.getAsLong();
+        boolean more = false;
+        List<UserEvent> batch = List.of();
+        try {
+            batch = outbox.findEventsAfter(position, batchSize);
+        } catch (RuntimeException e) {
+            logger.error("Could not read user events after offset {} for {}; retrying next round",
+                position, consumer, e);
+        }
+
+        if (!batch.isEmpty()) {
+            try {
+                listener.onUserEvents(batch);
+                position = batch.get(batch.size() - 1).getSequenceNumber();
+                more = batch.size() == batchSize;
+            } catch (RuntimeException e) {
+                logger.error("User event listener {} failed; batch after offset {} will be retried",
+                    consumer, position, e);
+            }
+        }
+
+        try {
+            if (!outbox.release(consumer, instanceId, position)) {
+                logger.warn("Lease for {} expired during delivery; offset not updated", consumer);
+                return false;
+            }
+        } catch (RuntimeException e) {
+            logger.error("Could not store offset {} for {}; the batch will be redelivered after the lease expires",
+                position, consumer, e);
+            return false;
+        }
+        return more;
+    }
+
+    private void register(String consumer) {
+        if (registered.contains(consumer)) {
+            return;
+        }
+        try {
+            outbox.register(consumer);
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Offset for {} was created concurrently by another instance", consumer);
+        }
+        registered.add(consumer);
+    }
+
+    @Scheduled(fixedDelayString = "${userapi.outbox.cleanup-interval-ms:3600000}")
+    public void purgeDelivered() {
+        List<String> consumers = listeners.stream().map(UserEventListener::getConsumerName).toList();
+        int deleted = outbox.purgeDelivered(consumers, LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            logger.info("Purged {} delivered user events", deleted);
+        }
+    }
+}
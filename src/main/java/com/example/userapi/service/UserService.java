@@ -1,11 +1,14 @@
 package com.example.userapi.service;
 
 import com.example.userapi.model.User;
+import com.example.userapi.model.UserEvent;
+import com.example.userapi.repository.UserEventRepository;
 import com.example.userapi.repository.UserRepository;
 import com.example.userapi.exception.DuplicateUserException;
 import com.example.userapi.exception.InvalidUserDataException;
 import com.example.userapi.exception.UserNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -30,10 +33,12 @@ public class UserService {
     private static final int MAX_NAME_LENGTH = 50;
 
     private final UserRepository userRepository;
+    private final UserEventRepository userEventRepository;
 
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserEventRepository userEventRepository) {
         this.userRepository = userRepository;
+        this.userEventRepository = userEventRepository;
     }
 
     public User createUser(User user) {
@@ -44,6 +49,8 @@ public class UserService {
         
         user.setCreatedAt(LocalDateTime.now());
         User savedUser = userRepository.save(user);
+        // Outbox entry commits or rolls back together with the user row
+        userEventRepository.save(new UserEvent(UserEvent.USER_CREATED, savedUser));
         
         logger.info("User created successfully with ID: {}", savedUser.getId());
         return savedUser;
@@ -61,9 +68,14 @@ public class UserService {
             .orElseThrow(() -> new UserNotFoundException("User not found with username: " + username));
     }
 
+    /**
+     * Returns up to {@code limit} users with an id above {@code lastId}, in id order.
+     * Callers page through the table by passing back the last id they received, so
+     * each page is read in its own short transaction.
+     */
     @Transactional(readOnly = true)
-    public List<User> findAllUsers() {
-        return userRepository.findAll();
+    public List<User> findUsersAfter(long lastId, int limit) {
+        return userRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, limit));
     }
 
     @Transactional(readOnly = true)
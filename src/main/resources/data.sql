@@ -1,4 +0,0 @@
-INSERT INTO users (username, email, first_name, last_name, created_at) VALUES
-('admin', 'admin@example.com', 'Admin', 'User', CURRENT_TIMESTAMP()),
-('testuser', 'test@example.com', 'Test', 'User', CURRENT_TIMESTAMP());
-
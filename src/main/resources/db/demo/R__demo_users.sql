@@ -0,0 +1,8 @@
+INSERT INTO users (username, email, first_name, last_name, created_at)
+SELECT 'admin', 'admin@example.com', 'Admin', 'User', CURRENT_TIMESTAMP()
+WHERE NOT EXISTS (SELECT 1 FROM users WHERE username = 'admin');
+
+INSERT INTO users (username, email, first_name, last_name, created_at)
+SELECT 'testuser', 'test@example.com', 'Test', 'User', CURRENT_TIMESTAMP()
+WHERE NOT EXISTS (SELECT 1 FROM users WHERE username = 'testuser');
+
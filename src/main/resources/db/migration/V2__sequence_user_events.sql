@@ -0,0 +1,18 @@
+-- Relay-assigned sequence numbers and per-consumer offsets for the outbox.
+-- IF NOT EXISTS lets this apply to database files that already picked these
+-- up from the pre-Flyway schema.sql.
+ALTER TABLE user_events ADD COLUMN IF NOT EXISTS sequence_number BIGINT UNIQUE;
+
+CREATE TABLE IF NOT EXISTS user_event_offsets (
+  consumer VARCHAR(100) PRIMARY KEY,
+  last_sequence BIGINT NOT NULL,
+  lease_owner VARCHAR(64),
+  lease_expires_at TIMESTAMP
+);
+
+-- The relay locks this row while assigning sequence numbers; seeding it here
+-- avoids two instances racing to create it. Never overwrites an existing row.
+MERGE INTO user_event_offsets o
+USING (VALUES ('__sequencer')) s(consumer)
+ON o.consumer = s.consumer
+WHEN NOT MATCHED THEN INSERT (consumer, last_sequence) VALUES (s.consumer, 0);
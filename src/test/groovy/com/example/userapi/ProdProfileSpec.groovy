@@ -0,0 +1,131 @@
+package com.example.userapi
+
+import com.example.userapi.service.UserService
+import jakarta.persistence.EntityManagerFactory
+import org.hibernate.SessionFactory
+import org.springframework.boot.builder.SpringApplicationBuilder
+import org.springframework.context.ConfigurableApplicationContext
+import org.springframework.jdbc.core.JdbcTemplate
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.sql.DriverManager
+
+class ProdProfileSpec extends Specification {
+
+    private static final String V1_SCHEMA_USERS = """
+        CREATE TABLE users (
+          id BIGINT AUTO_INCREMENT PRIMARY KEY,
+          username VARCHAR(255) NOT NULL,
+          email VARCHAR(255) NOT NULL,
+          first_name VARCHAR(255),
+          last_name VARCHAR(255),
+          created_at TIMESTAMP
+        )"""
+
+    private static final String V1_SCHEMA_EVENTS = """
+        CREATE TABLE user_events (
+          id BIGINT AUTO_INCREMENT PRIMARY KEY,
+          event_type VARCHAR(50) NOT NULL,
+          user_id BIGINT NOT NULL,
+          username VARCHAR(20) NOT NULL,
+          email VARCHAR(255) NOT NULL,
+          created_at TIMESTAMP NOT NULL
+        )"""
+
+    @TempDir
+    Path dataDir
+
+    int boots
+
+    def "restarting against an existing database file keeps data and loads no demo users"() {
+        given:
+        def url = "jdbc:h2:file:${dataDir.resolve('userdb')};QUERY_CACHE_SIZE=64"
+
+        when: "the first boot creates the schema and a user"
+        def first = boot(url)
+        def jdbc = first.getBean(JdbcTemplate)
+        jdbc.update("INSERT INTO users (username, email, first_name, last_name, created_at) " +
+                    "VALUES ('persisted', 'persisted@example.com', 'Per', 'Sisted', CURRENT_TIMESTAMP())")
+        first.close()
+
+        and: "the application boots again on the same file"
+        def second = boot(url)
+        jdbc = second.getBean(JdbcTemplate)
+
+        then:
+        count(jdbc, "persisted") == 1
+        count(jdbc, "admin") == 0
+        count(jdbc, "testuser") == 0
+        appliedVersions(jdbc) == ["1", "2"]
+
+        when: "a persisted user is looked up twice"
+        def userService = second.getBean(UserService)
+        def statistics = second.getBean(EntityManagerFactory).unwrap(SessionFactory).statistics
+        def id = userService.findByUsername("persisted").id
+        userService.findById(id)
+        def hitsBefore = statistics.secondLevelCacheHitCount
+        userService.findById(id)
+
+        then: "the prod profile serves it from the second-level cache"
+        statistics.secondLevelCacheHitCount > hitsBefore
+
+        cleanup:
+        second?.close()
+    }
+
+    def "a database file created before Flyway is baselined and migrated"() {
+        given: "a file holding the schema the prod profile first shipped with"
+        def url = "jdbc:h2:file:${dataDir.resolve('legacydb')}"
+        DriverManager.getConnection(url, "sa", "").withCloseable { connection ->
+            connection.createStatement().withCloseable { statement ->
+                statement.execute(V1_SCHEMA_USERS)
+                statement.execute(V1_SCHEMA_EVENTS)
+                statement.execute("INSERT INTO users (username, email, created_at) " +
+                                  "VALUES ('legacy', 'legacy@example.com', CURRENT_TIMESTAMP())")
+            }
+        }
+
+        when:
+        def context = boot(url)
+        def jdbc = context.getBean(JdbcTemplate)
+
+        then:
+        count(jdbc, "legacy") == 1
+        appliedVersions(jdbc) == ["1", "2"]
+        jdbc.queryForObject("SELECT COUNT(*) FROM user_event_offsets WHERE consumer = '__sequencer'", Long) == 1
+        jdbc.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS " +
+                            "WHERE TABLE_NAME = 'USER_EVENTS' AND COLUMN_NAME = 'SEQUENCE_NUMBER'", Long) == 1
+
+        cleanup:
+        context?.close()
+    }
+
+    /**
+     * Hibernate closes its JCache manager with the context, and the provider keys
+     * managers by URI. Each boot therefore gets its own copy of ehcache.xml, so
+     * closing it cannot close the manager of a context shared with other specs.
+     */
+    private ConfigurableApplicationContext boot(String url) {
+        def cacheConfig = dataDir.resolve("ehcache-${++boots}.xml")
+        getClass().getResourceAsStream("/ehcache.xml").withCloseable { Files.copy(it, cacheConfig) }
+        new SpringApplicationBuilder(UserApiApplication)
+            .profiles("prod")
+            .properties(
+                "spring.datasource.url=" + url,
+                "spring.jpa.properties.hibernate.javax.cache.uri=" + cacheConfig.toUri(),
+                "server.port=0")
+            .run()
+    }
+
+    private static List<String> appliedVersions(JdbcTemplate jdbc) {
+        jdbc.queryForList("SELECT \"version\" FROM \"flyway_schema_history\" " +
+                          "WHERE \"success\" AND \"version\" IS NOT NULL ORDER BY \"installed_rank\"", String)
+    }
+
+    private static long count(JdbcTemplate jdbc, String username) {
+        jdbc.queryForObject("SELECT COUNT(*) FROM users WHERE username = ?", Long, username)
+    }
+}
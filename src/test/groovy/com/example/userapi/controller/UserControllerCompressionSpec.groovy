@@ -0,0 +1,110 @@
+package com.example.userapi.controller
+
+import com.example.userapi.model.User
+import com.example.userapi.service.UserService
+import com.fasterxml.jackson.databind.ObjectMapper
+import jakarta.persistence.EntityManagerFactory
+import org.hibernate.SessionFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.boot.test.web.server.LocalServerPort
+import spock.lang.Specification
+
+import java.net.http.HttpClient
+import java.net.http.HttpRequest
+import java.net.http.HttpResponse
+import java.util.zip.GZIPInputStream
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UserControllerCompressionSpec extends Specification {
+
+    @LocalServerPort
+    int port
+
+    @Autowired
+    UserService userService
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory
+
+    @Autowired
+    ObjectMapper objectMapper
+
+    HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()
+
+    def "large user listing is gzip-compressed and bypasses the second-level cache"() {
+        given: "enough users to exceed the 1 KB compression threshold"
+        (1..30).each { userService.createUser(new User("gzip_user_$it", "gzip_user_$it@example.com", "Gzip", "User")) }
+        def statistics = entityManagerFactory.unwrap(SessionFactory).statistics
+        def cachePutsBefore = statistics.secondLevelCachePutCount
+
+        when:
+        def response = client.send(request("/api/users", true), HttpResponse.BodyHandlers.ofByteArray())
+        def users = objectMapper.readTree(new GZIPInputStream(new ByteArrayInputStream(response.body())))
+
+        then:
+        response.statusCode() == 200
+        response.headers().firstValue("Content-Encoding").orElse("") == "gzip"
+        users.size() >= 30
+        users.collect { it.get("username").asText() }.containsAll((1..30).collect { "gzip_user_$it".toString() })
+        statistics.secondLevelCachePutCount == cachePutsBefore
+    }
+
+    def "listing spanning several pages returns every user once in id order"() {
+        given: "more users than fit in one page"
+        (1..120).each { userService.createUser(new User("paged_user_$it", "paged_user_$it@example.com", "Paged", "User")) }
+
+        when:
+        def response = client.send(request("/api/users", false), HttpResponse.BodyHandlers.ofString())
+        def ids = objectMapper.readTree(response.body()).collect { it.get("id").asLong() }
+
+        then:
+        response.statusCode() == 200
+        ids.size() > 120
+        ids == ids.toSorted()
+        ids.toUnique().size() == ids.size()
+    }
+
+    def "listing is sent uncompressed when the client does not accept gzip"() {
+        when:
+        def response = client.send(request("/api/users", false), HttpResponse.BodyHandlers.ofString())
+
+        then:
+        response.statusCode() == 200
+        !response.headers().firstValue("Content-Encoding").isPresent()
+        objectMapper.readTree(response.body()).isArray()
+    }
+
+    def "availability responses stay below the compression threshold"() {
+        when:
+        def username = client.send(request("/api/users/check-username/nobody_here", true), HttpResponse.BodyHandlers.ofString())
+        def email = client.send(request("/api/users/check-email?email=nobody@example.com", true), HttpResponse.BodyHandlers.ofString())
+
+        then:
+        username.statusCode() == 200
+        !username.headers().firstValue("Content-Encoding").isPresent()
+        username.body() == '{"available":true}'
+        email.statusCode() == 200
+        !email.headers().firstValue("Content-Encoding").isPresent()
+    }
+
+    def "server speaks HTTP/2 over cleartext"() {
+        given:
+        def h2Client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build()
+
+        when:
+        def response = h2Client.send(request("/api/users/check-username/nobody_here", false), HttpResponse.BodyHandlers.ofString())
+
+        then:
+        response.statusCode() == 200
+        response.version() == HttpClient.Version.HTTP_2
+    }
+
+    private HttpRequest request(String path, boolean gzip) {
+        def builder = HttpRequest.newBuilder(URI.create("http://localhost:$port$path")).GET()
+        if (gzip) {
+            builder.header("Accept-Encoding", "gzip")
+        }
+        builder.build()
+    }
+}
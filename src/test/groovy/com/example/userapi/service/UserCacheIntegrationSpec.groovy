@@ -0,0 +1,76 @@
+package com.example.userapi.service
+
+import com.example.userapi.model.User
+import jakarta.persistence.EntityManagerFactory
+import org.hibernate.SessionFactory
+import org.hibernate.stat.Statistics
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import spock.lang.Specification
+
+@SpringBootTest
+class UserCacheIntegrationSpec extends Specification {
+
+    @Autowired
+    UserService userService
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory
+
+    Statistics statistics
+
+    def setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory).statistics
+        statistics.clear()
+    }
+
+    def "findById is served from the second-level cache after the first load"() {
+        given:
+        def created = userService.createUser(new User("cache_byid", "cache_byid@example.com", "Cache", "ById"))
+        userService.findById(created.id)
+        def hitsBefore = statistics.secondLevelCacheHitCount
+
+        when:
+        def found = userService.findById(created.id)
+
+        then:
+        found.username == "cache_byid"
+        statistics.secondLevelCacheHitCount > hitsBefore
+    }
+
+    def "findByUsername resolves through the natural-id cache"() {
+        given:
+        userService.createUser(new User("cache_natid", "cache_natid@example.com", "Cache", "NatId"))
+        userService.findByUsername("cache_natid")
+        def hitsBefore = statistics.secondLevelCacheHitCount
+
+        when:
+        def found = userService.findByUsername("cache_natid")
+
+        then:
+        found.email == "cache_natid@example.com"
+        statistics.secondLevelCacheHitCount > hitsBefore
+    }
+
+    def "availability checks bypass the query cache"() {
+        given:
+        userService.isUsernameAvailable("cache_insert")
+        def queryHitsBefore = statistics.queryCacheHitCount
+        def queryPutsBefore = statistics.queryCachePutCount
+
+        when: "the same check is repeated"
+        def available = userService.isUsernameAvailable("cache_insert")
+
+        then: "it goes to the database again"
+        available
+        statistics.queryCacheHitCount == queryHitsBefore
+        statistics.queryCachePutCount == queryPutsBefore
+
+        when:
+        userService.createUser(new User("cache_insert", "cache_insert@example.com", "Cache", "Insert"))
+
+        then:
+        !userService.isUsernameAvailable("cache_insert")
+        !userService.isEmailAvailable("cache_insert@example.com")
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.userapi.service
+
+import com.example.userapi.model.User
+import com.example.userapi.model.UserEvent
+import com.example.userapi.model.UserEventOffset
+import com.example.userapi.repository.UserEventOffsetRepository
+import org.springframework.beans.factory.ObjectProvider
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.stream.Stream
+
+@SpringBootTest
+class UserEventOutboxIntegrationSpec extends Specification {
+
+    @Autowired
+    UserService userService
+
+    @Autowired
+    UserEventOutbox outbox
+
+    @Autowired
+    UserEventOffsetRepository offsetRepository
+
+    @Autowired
+    PlatformTransactionManager transactionManager
+
+    def "an event committed after a later one is not skipped by a consumer"() {
+        given: "transaction A inserts a user and stays open"
+        def aInserted = new CountDownLatch(1)
+        def releaseA = new CountDownLatch(1)
+        Long userAId = null
+        def txA = Thread.start {
+            new TransactionTemplate(transactionManager).executeWithoutResult {
+                userAId = userService.createUser(new User("outbox_a", "outbox_a@example.com", "Outbox", "A")).id
+                aInserted.countDown()
+                releaseA.await(10, TimeUnit.SECONDS)
+            }
+        }
+        aInserted.await(10, TimeUnit.SECONDS)
+
+        and: "transaction B inserts a user with a higher id and commits first"
+        def userB = userService.createUser(new User("outbox_b", "outbox_b@example.com", "Outbox", "B"))
+
+        when: "a consumer reads up to B"
+        outbox.assignSequenceNumbers(100)
+        def firstRead = outbox.findEventsAfter(0, 10_000)
+        def offset = firstRead.find { it.userId == userB.id }.sequenceNumber
+
+        then:
+        userAId < userB.id
+        !firstRead.any { it.userId == userAId }
+
+        when: "A commits and the consumer continues from its offset"
+        releaseA.countDown()
+        txA.join(10_000)
+        outbox.assignSequenceNumbers(100)
+        def secondRead = outbox.findEventsAfter(offset, 10_000)
+
+        then:
+        secondRead.any { it.userId == userAId }
+    }
+
+    def "listener offset survives a relay restart"() {
+        given:
+        def received = []
+        def listener = listener("restart-test") { received.addAll(it) }
+        userService.createUser(new User("outbox_restart", "outbox_restart@example.com", "Outbox", "Restart"))
+
+        when:
+        newRelay(listener).publishPending()
+        def deliveredFirst = received.size()
+        newRelay(listener).publishPending()
+
+        then:
+        deliveredFirst > 0
+        received.size() == deliveredFirst
+        received*.sequenceNumber.toUnique().size() == received.size()
+    }
+
+    def "a failing listener receives the same batch again"() {
+        given:
+        def attempts = []
+        def failFirst = true
+        def listener = listener("retry-test") { List<UserEvent> events ->
+            attempts << events*.sequenceNumber
+            if (failFirst) {
+                failFirst = false
+                throw new IllegalStateException("downstream unavailable")
+            }
+        }
+        userService.createUser(new User("outbox_retry", "outbox_retry@example.com", "Outbox", "Retry"))
+        def relay = newRelay(listener)
+
+        when:
+        relay.publishPending()
+        relay.publishPending()
+
+        then:
+        attempts.size() >= 2
+        attempts[1].first() == attempts[0].first()
+        attempts[1].containsAll(attempts[0])
+    }
+
+    def "two instances registering the same consumer at once both deliver without errors"() {
+        given:
+        def received = Collections.synchronizedList([])
+        def listener = listener("concurrent-test") { received.addAll(it) }
+        userService.createUser(new User("outbox_concurrent", "outbox_concurrent@example.com", "Outbox", "Concurrent"))
+        def relays = [newRelay(listener), newRelay(listener)]
+        def start = new CountDownLatch(1)
+        def failures = Collections.synchronizedList([])
+
+        when:
+        def threads = relays.collect { relay ->
+            Thread.start {
+                start.await(10, TimeUnit.SECONDS)
+                try {
+                    relay.publishPending()
+                } catch (Exception e) {
+                    failures << e
+                }
+            }
+        }
+        start.countDown()
+        threads*.join(10_000)
+        relays*.publishPending()
+
+        then:
+        failures.isEmpty()
+        offsetRepository.findById("concurrent-test").present
+        !received.isEmpty()
+        received*.sequenceNumber.toUnique().size() == received.size()
+    }
+
+    def "sequencer row is seeded by the schema"() {
+        expect:
+        offsetRepository.findById(UserEventOffset.SEQUENCER).present
+    }
+
+    private UserEventRelay newRelay(UserEventListener listener) {
+        ObjectProvider<UserEventListener> provider = Stub() {
+            orderedStream() >> { Stream.of(listener) }
+        }
+        new UserEventRelay(outbox, provider, 100, 30_000, 168)
+    }
+
+    private static UserEventListener listener(String name, Closure onEvents) {
+        new UserEventListener() {
+            @Override
+            String getConsumerName() { name }
+
+            @Override
+            void onUserEvents(List<UserEvent> events) { onEvents.call(events) }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.userapi.service
+
+import com.example.userapi.model.User
+import com.example.userapi.repository.UserEventRepository
+import org.spockframework.spring.SpringBean
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.dao.DataIntegrityViolationException
+import org.springframework.jdbc.core.JdbcTemplate
+import spock.lang.Specification
+
+@SpringBootTest
+class UserEventRollbackSpec extends Specification {
+
+    @SpringBean
+    UserEventRepository userEventRepository = Stub() {
+        save(_) >> { throw new DataIntegrityViolationException("outbox insert failed") }
+    }
+
+    @Autowired
+    UserService userService
+
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    def "user row is rolled back when the outbox insert fails"() {
+        when:
+        userService.createUser(new User("outbox_rollback", "outbox_rollback@example.com", "Outbox", "Rollback"))
+
+        then:
+        thrown(DataIntegrityViolationException)
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE username = ?", Long, "outbox_rollback") == 0
+    }
+}
@@ -14,10 +14,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -121,17 +123,39 @@ class UserControllerTest {
         // Given
         User user2 = new User("user2", "user2@example.com", "User", "Two");
         user2.setId(2L);
-        List<User> users = Arrays.asList(testUser, user2);
-        when(userService.findAllUsers()).thenReturn(users);
+        when(userService.findUsersAfter(0L, 100)).thenReturn(Arrays.asList(testUser, user2));
 
         // When & Then
-        mockMvc.perform(get("/api/users"))
+        MvcResult result = mockMvc.perform(get("/api/users"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].username").value("testuser"))
                 .andExpect(jsonPath("$[1].username").value("user2"));
     }
 
+    @Test
+    @DisplayName("Should fetch the next page after the last id while pages are full")
+    void shouldFetchNextPageWhilePagesAreFull() throws Exception {
+        // Given
+        List<User> firstPage = LongStream.rangeClosed(1, 100).mapToObj(this::user).toList();
+        when(userService.findUsersAfter(0L, 100)).thenReturn(firstPage);
+        when(userService.findUsersAfter(100L, 100)).thenReturn(List.of(user(101L)));
+
+        // When & Then
+        MvcResult result = mockMvc.perform(get("/api/users"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(101))
+                .andExpect(jsonPath("$[100].username").value("user101"));
+    }
+
     @Test
     @DisplayName("Should check username availability")
     void shouldCheckUsernameAvailability() throws Exception {
@@ -156,4 +180,10 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.available").value(true));
     }
+
+    private User user(long id) {
+        User user = new User("user" + id, "user" + id + "@example.com", "User", "Paged");
+        user.setId(id);
+        return user;
+    }
 }
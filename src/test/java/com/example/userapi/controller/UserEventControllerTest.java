@@ -0,0 +1,95 @@
+package com.example.userapi.controller;
+
+import com.example.userapi.model.User;
+import com.example.userapi.model.UserEvent;
+import com.example.userapi.service.UserEventOutbox;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UserEventController.class)
+class UserEventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserEventOutbox userEventOutbox;
+
+    @Test
+    @DisplayName("Should return events after offset with next offset")
+    void shouldReturnEventsAfterOffset() throws Exception {
+        // Given
+        when(userEventOutbox.findEventsAfter(10L, 2)).thenReturn(List.of(event(11L, "alice"), event(12L, "bob")));
+
+        // When & Then
+        mockMvc.perform(get("/api/users/events")
+                .param("after", "10")
+                .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(2))
+                .andExpect(jsonPath("$.events[0].sequenceNumber").value(11))
+                .andExpect(jsonPath("$.events[0].eventType").value("USER_CREATED"))
+                .andExpect(jsonPath("$.events[1].username").value("bob"))
+                .andExpect(jsonPath("$.nextOffset").value(12));
+    }
+
+    @Test
+    @DisplayName("Should keep offset when no new events")
+    void shouldKeepOffsetWhenNoNewEvents() throws Exception {
+        // Given
+        when(userEventOutbox.findEventsAfter(42L, 100)).thenReturn(Collections.emptyList());
+
+        // When & Then
+        mockMvc.perform(get("/api/users/events").param("after", "42"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(0))
+                .andExpect(jsonPath("$.nextOffset").value(42));
+    }
+
+    @Test
+    @DisplayName("Should start from the beginning by default")
+    void shouldStartFromBeginningByDefault() throws Exception {
+        // Given
+        when(userEventOutbox.findEventsAfter(0L, 100)).thenReturn(List.of(event(1L, "admin")));
+
+        // When & Then
+        mockMvc.perform(get("/api/users/events"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextOffset").value(1));
+    }
+
+    @Test
+    @DisplayName("Should cap the page size")
+    void shouldCapPageSize() throws Exception {
+        // Given
+        when(userEventOutbox.findEventsAfter(0L, 500)).thenReturn(Collections.emptyList());
+
+        // When
+        mockMvc.perform(get("/api/users/events").param("limit", "100000"))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(userEventOutbox).findEventsAfter(0L, 500);
+    }
+
+    private UserEvent event(Long sequenceNumber, String username) {
+        User user = new User(username, username + "@example.com", "Test", "User");
+        user.setId(sequenceNumber);
+        UserEvent event = new UserEvent(UserEvent.USER_CREATED, user);
+        event.setId(sequenceNumber);
+        event.setSequenceNumber(sequenceNumber);
+        return event;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.userapi.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyRecorderTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    @DisplayName("Should use nearest-rank percentiles")
+    void shouldUseNearestRankPercentiles() {
+        // Given
+        long[] sorted = new long[100];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = (i + 1) * MILLI;
+        }
+
+        // When & Then
+        assertEquals(50.0, LatencyRecorder.percentileMillis(sorted, 0.50));
+        assertEquals(99.0, LatencyRecorder.percentileMillis(sorted, 0.99));
+        assertEquals(100.0, LatencyRecorder.percentileMillis(sorted, 0.999));
+    }
+
+    @Test
+    @DisplayName("Should return the only sample for any percentile")
+    void shouldReturnOnlySampleForAnyPercentile() {
+        // Given
+        long[] sorted = { 7 * MILLI };
+
+        // When & Then
+        assertEquals(7.0, LatencyRecorder.percentileMillis(sorted, 0.50));
+        assertEquals(7.0, LatencyRecorder.percentileMillis(sorted, 0.999));
+    }
+
+    @Test
+    @DisplayName("Should return zero for no samples")
+    void shouldReturnZeroForNoSamples() {
+        assertEquals(0.0, LatencyRecorder.percentileMillis(new long[0], 0.99));
+    }
+
+    @Test
+    @DisplayName("Should summarise recorded samples")
+    void shouldSummariseRecordedSamples() {
+        // Given
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(3 * MILLI, false, 100, "HTTP_2");
+        recorder.record(1 * MILLI, true, 50, "HTTP_2");
+        recorder.record(2 * MILLI, false, 150, "HTTP_2");
+
+        // When
+        Map<String, Object> summary = LatencyRecorder.summarise(
+            recorder.snapshot(), recorder.getErrors(), recorder.getBytes(), 2.0);
+
+        // Then
+        assertEquals(3, summary.get("requests"));
+        assertEquals(1L, summary.get("errors"));
+        assertEquals(1.5, summary.get("throughputPerSecond"));
+        assertEquals(2.0, summary.get("p50Millis"));
+        assertEquals(3.0, summary.get("maxMillis"));
+        assertEquals(100.0, summary.get("avgResponseBodyBytes"));
+    }
+
+    @Test
+    @DisplayName("Should count responses per HTTP version and skip failed calls")
+    void shouldCountResponsesPerHttpVersion() {
+        // Given
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(MILLI, false, 10, "HTTP_2");
+        recorder.record(MILLI, false, 10, "HTTP_1_1");
+        recorder.record(MILLI, false, 10, "HTTP_2");
+        recorder.record(MILLI, true, 0, null);
+
+        // When & Then
+        assertEquals(Map.of("HTTP_1_1", 1L, "HTTP_2", 2L), recorder.getVersions());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.userapi.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestConfigTest {
+
+    @Test
+    @DisplayName("Should parse operation weights in order")
+    void shouldParseOperationWeightsInOrder() {
+        // When
+        Map<String, Integer> mix = LoadTestConfig.parseMix(" create=20, getById = 35 ,list=5");
+
+        // Then
+        assertEquals(List.of("create", "getById", "list"), List.copyOf(mix.keySet()));
+        assertEquals(35, mix.get("getById"));
+    }
+
+    @Test
+    @DisplayName("Should drop operations with zero weight")
+    void shouldDropZeroWeights() {
+        // When
+        Map<String, Integer> mix = LoadTestConfig.parseMix("create=0,checkEmail=1");
+
+        // Then
+        assertEquals(Map.of("checkEmail", 1), mix);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown operations")
+    void shouldRejectUnknownOperations() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> LoadTestConfig.parseMix("create=1,delete=2"));
+
+        assertTrue(exception.getMessage().contains("delete"));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed entries")
+    void shouldRejectMalformedEntries() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parseMix("create"));
+        assertThrows(NumberFormatException.class, () -> LoadTestConfig.parseMix("create=many"));
+    }
+
+    @Test
+    @DisplayName("Should reject a mix without positive weights")
+    void shouldRejectMixWithoutPositiveWeights() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parseMix("create=0,list=0"));
+    }
+
+    @Test
+    @DisplayName("Should refuse the production database file")
+    void shouldRefuseProductionDatabase() {
+        assertThrows(IllegalArgumentException.class,
+            () -> LoadTestConfig.checkNotProductionDatabase("jdbc:h2:file:./data/userdb;QUERY_CACHE_SIZE=64"));
+        assertDoesNotThrow(
+            () -> LoadTestConfig.checkNotProductionDatabase("jdbc:h2:file:./build/loadtest/userdb"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.userapi.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerCpuSamplerTest {
+
+    @Test
+    @DisplayName("Should only count application server threads")
+    void shouldOnlyCountServerThreads() {
+        assertTrue(ServerCpuSampler.isServerThread("http-nio-auto-1-exec-3"));
+        assertTrue(ServerCpuSampler.isServerThread("task-2"));
+        assertTrue(ServerCpuSampler.isServerThread("scheduling-1"));
+        assertFalse(ServerCpuSampler.isServerThread("pool-1-thread-1"));
+        assertFalse(ServerCpuSampler.isServerThread("HttpClient-1-SelectorManager"));
+        assertFalse(ServerCpuSampler.isServerThread(null));
+    }
+
+    @Test
+    @DisplayName("Should sum per-thread deltas and count new threads from zero")
+    void shouldSumPerThreadDeltas() {
+        // Given
+        Map<Long, Long> start = Map.of(1L, 100L, 2L, 500L, 3L, 50L);
+        Map<Long, Long> end = Map.of(1L, 300L, 2L, 500L, 4L, 70L);
+
+        // When
+        long elapsed = ServerCpuSampler.elapsedNanos(start, end);
+
+        // Then
+        assertEquals(200L + 0L + 70L, elapsed);
+    }
+
+    @Test
+    @DisplayName("Should only sample threads with a server name")
+    void shouldOnlySampleServerThreads() throws Exception {
+        // Given
+        ServerCpuSampler sampler = new ServerCpuSampler();
+        Thread client = new Thread(() -> { }, "HttpClient-test-worker");
+        client.start();
+
+        // When
+        Map<Long, Long> snapshot = sampler.snapshot();
+        client.join();
+
+        // Then
+        assertFalse(snapshot.containsKey(client.getId()));
+        assertFalse(snapshot.containsKey(Thread.currentThread().getId()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.userapi.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThresholdCheckTest {
+
+    @Test
+    @DisplayName("Should ignore absolute limits that are switched off")
+    void shouldIgnoreDisabledAbsoluteLimits() {
+        List<String> violations = ThresholdCheck.absoluteViolations(500, 0.0, 1, 0, 0.01, 0);
+
+        assertTrue(violations.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should report every absolute limit that is missed")
+    void shouldReportMissedAbsoluteLimits() {
+        List<String> violations = ThresholdCheck.absoluteViolations(60, 0.05, 90, 50, 0.01, 100);
+
+        assertEquals(3, violations.size());
+    }
+
+    @Test
+    @DisplayName("Should pass when within the allowed regression")
+    void shouldPassWithinAllowedRegression() {
+        List<String> violations = ThresholdCheck.regressionViolations(10.9, 905, 10.0, 1000, 10);
+
+        assertTrue(violations.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fail when p99 or throughput regress beyond the allowance")
+    void shouldFailBeyondAllowedRegression() {
+        List<String> violations = ThresholdCheck.regressionViolations(11.5, 850, 10.0, 1000, 10);
+
+        assertEquals(2, violations.size());
+        assertTrue(violations.get(0).startsWith("p99"));
+        assertTrue(violations.get(1).startsWith("throughput"));
+    }
+}
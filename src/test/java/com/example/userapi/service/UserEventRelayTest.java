@@ -0,0 +1,231 @@
+package com.example.userapi.service;
+
+import com.example.userapi.model.User;
+import com.example.userapi.model.UserEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserEventRelayTest {
+
+    @Mock
+    private UserEventOutbox outbox;
+
+    @Mock
+    private ObjectProvider<UserEventListener> listenerProvider;
+
+    private UserEventRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        when(listenerProvider.orderedStream()).thenReturn(Stream.empty());
+        relay = new UserEventRelay(outbox, listenerProvider, 2, 30000, 168);
+    }
+
+    @Test
+    @DisplayName("Should sequence until a partial batch is returned")
+    void shouldSequenceUntilPartialBatch() {
+        // Given
+        when(outbox.assignSequenceNumbers(2)).thenReturn(2, 1);
+
+        // When
+        relay.publishPending();
+
+        // Then
+        verify(outbox, times(2)).assignSequenceNumbers(2);
+    }
+
+    @Test
+    @DisplayName("Should deliver from stored offset and save the new offset")
+    void shouldDeliverFromStoredOffset() {
+        // Given
+        RecordingListener listener = new RecordingListener("welcome-mail");
+        relay.addListener(listener);
+        when(outbox.claim(eq("welcome-mail"), anyString(), any())).thenReturn(OptionalLong.of(5));
+        when(outbox.findEventsAfter(5, 2)).thenReturn(List.of(event(6L)));
+        when(outbox.release(eq("welcome-mail"), anyString(), anyLong())).thenReturn(true);
+
+        // When
+        relay.publishPending();
+
+        // Then
+        assertEquals(1, listener.batches.size());
+        verify(outbox).release(eq("welcome-mail"), anyString(), eq(6L));
+    }
+
+    @Test
+    @DisplayName("Should keep reading while batches are full")
+    void shouldKeepReadingWhileBatchesAreFull() {
+        // Given
+        RecordingListener listener = new RecordingListener("search");
+        relay.addListener(listener);
+        when(outbox.claim(eq("search"), anyString(), any())).thenReturn(OptionalLong.of(0), OptionalLong.of(2));
+        when(outbox.findEventsAfter(0, 2)).thenReturn(List.of(event(1L), event(2L)));
+        when(outbox.findEventsAfter(2, 2)).thenReturn(List.of(event(3L)));
+        when(outbox.release(eq("search"), anyString(), anyLong())).thenReturn(true);
+
+        // When
+        relay.publishPending();
+
+        // Then
+        assertEquals(2, listener.batches.size());
+        verify(outbox).release(eq("search"), anyString(), eq(2L));
+        verify(outbox).release(eq("search"), anyString(), eq(3L));
+    }
+
+    @Test
+    @DisplayName("Should not advance offset when listener fails")
+    void shouldNotAdvanceOffsetWhenListenerFails() {
+        // Given
+        UserEventListener failing = new RecordingListener("analytics") {
+            @Override
+            public void onUserEvents(List<UserEvent> events) {
+                throw new IllegalStateException("analytics unavailable");
+            }
+        };
+        relay.addListener(failing);
+        when(outbox.claim(eq("analytics"), anyString(), any())).thenReturn(OptionalLong.of(5));
+        when(outbox.findEventsAfter(5, 2)).thenReturn(List.of(event(6L)));
+        when(outbox.release(eq("analytics"), anyString(), anyLong())).thenReturn(true);
+
+        // When
+        relay.publishPending();
+
+        // Then
+        verify(outbox).release(eq("analytics"), anyString(), eq(5L));
+    }
+
+    @Test
+    @DisplayName("Should serve remaining listeners when claiming an offset fails")
+    void shouldServeRemainingListenersWhenClaimFails() {
+        // Given
+        RecordingListener first = new RecordingListener("search");
+        RecordingListener second = new RecordingListener("welcome-mail");
+        relay.addListener(first);
+        relay.addListener(second);
+        when(outbox.claim(eq("search"), anyString(), any()))
+            .thenThrow(new DataAccessResourceFailureException("connection lost"));
+        when(outbox.claim(eq("welcome-mail"), anyString(), any())).thenReturn(OptionalLong.of(0));
+        when(outbox.findEventsAfter(0, 2)).thenReturn(List.of(event(1L)));
+        when(outbox.release(eq("welcome-mail"), anyString(), anyLong())).thenReturn(true);
+
+        // When
+        relay.publishPending();
+
+        // Then
+        assertTrue(first.batches.isEmpty());
+        assertEquals(1, second.batches.size());
+        verify(outbox, never()).release(eq("search"), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should not call listener when reading events fails")
+    void shouldNotCallListenerWhenReadFails() {
+        // Given
+        RecordingListener listener = new RecordingListener("search");
+        relay.addListener(listener);
+        when(outbox.claim(eq("search"), anyString(), any())).thenReturn(OptionalLong.of(5));
+        when(outbox.findEventsAfter(5, 2)).thenThrow(new DataAccessResourceFailureException("connection lost"));
+        when(outbox.release(eq("search"), anyString(), anyLong())).thenReturn(true);
+
+        // When
+        relay.publishPending();
+
+        // Then
+        assertTrue(listener.batches.isEmpty());
+        verify(outbox).release(eq("search"), anyString(), eq(5L));
+    }
+
+    @Test
+    @DisplayName("Should claim when another instance registered the consumer first")
+    void shouldClaimWhenRegisteredConcurrently() {
+        // Given
+        RecordingListener listener = new RecordingListener("search");
+        relay.addListener(listener);
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(outbox).register("search");
+        when(outbox.claim(eq("search"), anyString(), any())).thenReturn(OptionalLong.of(0));
+        when(outbox.findEventsAfter(0, 2)).thenReturn(List.of(event(1L)));
+        when(outbox.release(eq("search"), anyString(), anyLong())).thenReturn(true);
+
+        // When
+        relay.publishPending();
+
+        // Then
+        assertEquals(1, listener.batches.size());
+    }
+
+    @Test
+    @DisplayName("Should skip listener leased by another instance")
+    void shouldSkipListenerLeasedElsewhere() {
+        // Given
+        RecordingListener listener = new RecordingListener("search");
+        relay.addListener(listener);
+        when(outbox.claim(eq("search"), anyString(), any())).thenReturn(OptionalLong.empty());
+
+        // When
+        relay.publishPending();
+
+        // Then
+        assertTrue(listener.batches.isEmpty());
+        verify(outbox, never()).findEventsAfter(anyLong(), anyInt());
+        verify(outbox, never()).release(anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should purge only what registered listeners have processed")
+    void shouldPurgeForRegisteredListeners() {
+        // Given
+        relay.addListener(new RecordingListener("search"));
+
+        // When
+        relay.purgeDelivered();
+
+        // Then
+        verify(outbox).purgeDelivered(eq(List.of("search")), any());
+    }
+
+    private UserEvent event(Long sequenceNumber) {
+        User user = new User("user" + sequenceNumber, "user" + sequenceNumber + "@example.com", "User", "Test");
+        user.setId(sequenceNumber);
+        UserEvent event = new UserEvent(UserEvent.USER_CREATED, user);
+        event.setId(sequenceNumber);
+        event.setSequenceNumber(sequenceNumber);
+        return event;
+    }
+
+    private static class RecordingListener implements UserEventListener {
+
+        private final String name;
+        private final List<List<UserEvent>> batches = new ArrayList<>();
+
+        RecordingListener(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getConsumerName() {
+            return name;
+        }
+
+        @Override
+        public void onUserEvents(List<UserEvent> events) {
+            batches.add(events);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.userapi.service;
 
 import com.example.userapi.model.User;
+import com.example.userapi.model.UserEvent;
+import com.example.userapi.repository.UserEventRepository;
 import com.example.userapi.repository.UserRepository;
 import com.example.userapi.exception.DuplicateUserException;
 import com.example.userapi.exception.InvalidUserDataException;
@@ -12,7 +14,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,6 +29,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserEventRepository userEventRepository;
+
     @InjectMocks
     private UserService userService;
 
@@ -53,6 +60,26 @@ class UserServiceTest {
         verify(userRepository).save(validUser);
     }
 
+    @Test
+    @DisplayName("Should write user-created event to outbox")
+    void shouldWriteUserCreatedEventToOutbox() {
+        // Given
+        User savedUser = new User("testuser", "test@example.com", "Test", "User");
+        savedUser.setId(42L);
+        when(userRepository.existsByUsername(anyString())).thenReturn(false);
+        when(userRepository.existsByEmail(anyString())).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+
+        // When
+        userService.createUser(validUser);
+
+        // Then
+        verify(userEventRepository).save(argThat(event ->
+            UserEvent.USER_CREATED.equals(event.getEventType()) &&
+            Long.valueOf(42L).equals(event.getUserId()) &&
+            "testuser".equals(event.getUsername())));
+    }
+
     @Test
     @DisplayName("Should throw exception for duplicate username")
     void shouldThrowExceptionForDuplicateUsername() {
@@ -65,6 +92,7 @@ class UserServiceTest {
         
         assertTrue(exception.getMessage().contains("Username 'testuser' is already taken"));
         verify(userRepository, never()).save(any());
+        verify(userEventRepository, never()).save(any());
     }
 
     @Test
@@ -132,6 +160,21 @@ class UserServiceTest {
         assertThrows(UserNotFoundException.class, () -> userService.findById(1L));
     }
 
+    @Test
+    @DisplayName("Should read the page after the given id")
+    void shouldReadPageAfterId() {
+        // Given
+        User user2 = new User("user2", "user2@example.com", "User", "Two");
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, 50)))
+            .thenReturn(List.of(user2));
+
+        // When
+        List<User> page = userService.findUsersAfter(1L, 50);
+
+        // Then
+        assertEquals(List.of(user2), page);
+    }
+
     @Test
     @DisplayName("Should return true for available username")
     void shouldReturnTrueForAvailableUsername() {